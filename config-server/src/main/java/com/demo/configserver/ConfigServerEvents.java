@@ -0,0 +1,203 @@
+package com.demo.configserver;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder events for the configuration request path.
+ * <p>
+ * Each stage of a configuration request is recorded as its own event type so that a
+ * slow request can be broken down after the fact from a continuous recording:
+ * S3 fetch, YAML parsing, flattening, JSON serialization and authentication.
+ * Events are committed on the thread that performed the stage, which for S3 stages
+ * may be a fetch thread rather than the request thread; stages of the same request
+ * share the application and profile fields.
+ * <p>
+ * Stack traces are disabled to keep the overhead low enough for always-on recording.
+ */
+public final class ConfigServerEvents {
+
+    private ConfigServerEvents() {}
+
+    @Name("com.demo.configserver.FindOne")
+    @Label("Config Find One")
+    @Description("Resolution of an application/profile into an Environment")
+    @Category({"Config Server", "Repository"})
+    @StackTrace(false)
+    public static class FindOneEvent extends Event {
+        @Label("Application")
+        String application;
+
+        @Label("Profile")
+        String profile;
+
+        @Label("Label")
+        String label;
+
+        @Label("Route")
+        String route;
+
+        @Label("Bucket")
+        String bucket;
+
+        @Label("Property Sources")
+        int propertySources;
+
+        @Label("Property Count")
+        int propertyCount;
+
+        @Label("Failed Files")
+        @Description("Configuration files that could not be read or parsed")
+        int failedFiles;
+
+        @Label("Outcome")
+        @Description("ok, partial (some files failed) or error")
+        String outcome;
+
+        public FindOneEvent(String application, String profile, String label) {
+            this.application = application;
+            this.profile = profile;
+            this.label = label;
+        }
+    }
+
+    @Name("com.demo.configserver.S3Fetch")
+    @Label("S3 Fetch")
+    @Description("GetObject request for a configuration file, including the wait for an S3 request slot")
+    @Category({"Config Server", "S3"})
+    @StackTrace(false)
+    public static class S3FetchEvent extends Event {
+        @Label("Application")
+        String application;
+
+        @Label("Profile")
+        String profile;
+
+        @Label("Bucket")
+        String bucket;
+
+        @Label("Key")
+        String key;
+
+        @Label("Bytes")
+        @DataAmount(DataAmount.BYTES)
+        long bytes;
+
+        @Label("Permit Wait")
+        @Timespan(Timespan.NANOSECONDS)
+        long permitWait;
+
+        @Label("Outcome")
+        String outcome;
+
+        public S3FetchEvent(String application, String profile, String bucket, String key) {
+            this.application = application;
+            this.profile = profile;
+            this.bucket = bucket;
+            this.key = key;
+        }
+    }
+
+    @Name("com.demo.configserver.YamlParse")
+    @Label("YAML Parse")
+    @Description("Parsing of a configuration file loaded from S3")
+    @Category({"Config Server", "Repository"})
+    @StackTrace(false)
+    public static class YamlParseEvent extends Event {
+        @Label("Application")
+        String application;
+
+        @Label("Profile")
+        String profile;
+
+        @Label("Key")
+        String key;
+
+        @Label("Bytes")
+        @DataAmount(DataAmount.BYTES)
+        long bytes;
+
+        @Label("Outcome")
+        String outcome;
+
+        public YamlParseEvent(String application, String profile, String key, long bytes) {
+            this.application = application;
+            this.profile = profile;
+            this.key = key;
+            this.bytes = bytes;
+        }
+    }
+
+    @Name("com.demo.configserver.Flatten")
+    @Label("Flatten Properties")
+    @Description("Flattening of parsed YAML into dotted property names")
+    @Category({"Config Server", "Repository"})
+    @StackTrace(false)
+    public static class FlattenEvent extends Event {
+        @Label("Application")
+        String application;
+
+        @Label("Profile")
+        String profile;
+
+        @Label("Key")
+        String key;
+
+        @Label("Property Count")
+        int propertyCount;
+
+        public FlattenEvent(String application, String profile, String key) {
+            this.application = application;
+            this.profile = profile;
+            this.key = key;
+        }
+    }
+
+    @Name("com.demo.configserver.Serialization")
+    @Label("Environment Serialization")
+    @Description("JSON serialization of an Environment response")
+    @Category({"Config Server", "Web"})
+    @StackTrace(false)
+    public static class SerializationEvent extends Event {
+        @Label("Application")
+        String application;
+
+        @Label("Profile")
+        String profile;
+
+        @Label("Bytes")
+        @DataAmount(DataAmount.BYTES)
+        long bytes;
+
+        @Label("Outcome")
+        String outcome;
+
+        public SerializationEvent(String application, String profile) {
+            this.application = application;
+            this.profile = profile;
+        }
+    }
+
+    @Name("com.demo.configserver.Authentication")
+    @Label("Authentication")
+    @Description("Basic authentication attempt, including the BCrypt password check")
+    @Category({"Config Server", "Security"})
+    @StackTrace(false)
+    public static class AuthenticationEvent extends Event {
+        @Label("Username")
+        String username;
+
+        @Label("Outcome")
+        String outcome;
+
+        public AuthenticationEvent(String username) {
+            this.username = username;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.demo.configserver;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Jackson message converter that records a JFR event for every serialized {@link Environment}.
+ * <p>
+ * Replaces Spring Boot's default JSON converter; all other payloads are written unchanged.
+ */
+@Component
+public class EnvironmentJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public EnvironmentJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        if (!(object instanceof Environment environment)) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+
+        ConfigServerEvents.SerializationEvent event = new ConfigServerEvents.SerializationEvent(
+                environment.getName(), String.join(",", environment.getProfiles()));
+        event.begin();
+        event.outcome = "error";
+        CountingOutputStream body = new CountingOutputStream(outputMessage.getBody());
+        try {
+            super.writeInternal(object, type, new HttpOutputMessage() {
+                @Override
+                public OutputStream getBody() {
+                    return body;
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    return outputMessage.getHeaders();
+                }
+            });
+            event.outcome = "ok";
+        } finally {
+            event.bytes = body.count;
+            event.commit();
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        private CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
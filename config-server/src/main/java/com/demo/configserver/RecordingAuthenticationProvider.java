@@ -0,0 +1,51 @@
+package com.demo.configserver;
+
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Username/password authentication provider that records a JFR event per attempt.
+ * <p>
+ * The event carries the username and distinguishes success, unknown users and bad
+ * credentials. Its duration covers the whole attempt, which is dominated by the BCrypt
+ * check (also performed for unknown users as timing-attack mitigation). Unknown users
+ * are still reported to the client as bad credentials.
+ */
+public class RecordingAuthenticationProvider extends DaoAuthenticationProvider {
+
+    public RecordingAuthenticationProvider(UserDetailsService userDetailsService, PasswordEncoder passwordEncoder) {
+        super(passwordEncoder);
+        setUserDetailsService(userDetailsService);
+        // Surface UsernameNotFoundException so it can be recorded; it is hidden again below
+        setHideUserNotFoundExceptions(false);
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        ConfigServerEvents.AuthenticationEvent event = new ConfigServerEvents.AuthenticationEvent(authentication.getName());
+        event.begin();
+        event.outcome = "error";
+        try {
+            Authentication result = super.authenticate(authentication);
+            event.outcome = "success";
+            return result;
+        } catch (UsernameNotFoundException e) {
+            event.outcome = "unknown-user";
+            throw new BadCredentialsException(messages.getMessage(
+                    "AbstractUserDetailsAuthenticationProvider.badCredentials", "Bad credentials"));
+        } catch (BadCredentialsException e) {
+            event.outcome = "bad-credentials";
+            throw e;
+        } catch (AuthenticationException e) {
+            event.outcome = "rejected";
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
+}
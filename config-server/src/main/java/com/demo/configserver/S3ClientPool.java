@@ -0,0 +1,117 @@
+package com.demo.configserver;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.logging.Logger;
+
+/**
+ * Pool of S3 clients, one per distinct endpoint, credentials and region.
+ * <p>
+ * Routing rules that point at the same S3 target share a single client and
+ * therefore a single HTTP connection pool. Each client has its own fair semaphore
+ * bounding in-flight requests, so a slow target cannot starve the others. The
+ * semaphore and the connection pool have the same size, so a permitted request
+ * never waits for a connection inside the SDK.
+ * Clients created by the pool are closed when the application context shuts down.
+ */
+@Component
+public class S3ClientPool implements DisposableBean {
+
+    private static final Logger LOGGER = Logger.getLogger(S3ClientPool.class.getName());
+
+    private final Map<String, S3Client> clients = new ConcurrentHashMap<>();
+    private final Set<S3Client> externalClients = ConcurrentHashMap.newKeySet();
+    private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+    private final int maxConcurrentRequests;
+
+    public S3ClientPool(@Value("${spring.cloud.config.server.aws-s3.max-concurrent-requests:50}") int maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        LOGGER.info(String.format("S3 requests limited to %d concurrent per client", maxConcurrentRequests));
+    }
+
+    /**
+     * Returns the client for the given target, creating it on first use.
+     */
+    public S3Client getClient(VcapServicesConfiguration.S3ServiceInfo target) {
+        return clients.computeIfAbsent(clientKey(target), key -> createClient(target));
+    }
+
+    /**
+     * Returns the semaphore bounding concurrent requests to the given target's client.
+     */
+    public Semaphore getPermits(VcapServicesConfiguration.S3ServiceInfo target) {
+        return permits.computeIfAbsent(clientKey(target), key -> new Semaphore(maxConcurrentRequests, true));
+    }
+
+    /**
+     * Registers an externally managed client for the given target so it is reused
+     * instead of creating a second client for the same endpoint.
+     */
+    public void register(VcapServicesConfiguration.S3ServiceInfo target, S3Client s3Client) {
+        if (clients.putIfAbsent(clientKey(target), s3Client) == null) {
+            externalClients.add(s3Client);
+        }
+    }
+
+    private String clientKey(VcapServicesConfiguration.S3ServiceInfo target) {
+        // The secret is part of the key so rotated credentials never share a client
+        return target.getEndpoint() + "|" + target.getAccessKey() + "|" + sha256(target.getSecretKey())
+                + "|" + target.getRegion();
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(String.valueOf(value).getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private S3Client createClient(VcapServicesConfiguration.S3ServiceInfo target) {
+        LOGGER.info("Creating pooled S3 client for endpoint: " + target.getEndpoint()
+                + " (region: " + target.getRegion() + ")");
+
+        AwsBasicCredentials awsCredentials = AwsBasicCredentials.create(
+                target.getAccessKey(),
+                target.getSecretKey()
+        );
+
+        S3Configuration s3Config = S3Configuration.builder()
+                .pathStyleAccessEnabled(true) // Required for MinIO and ECS
+                .build();
+
+        return S3Client.builder()
+                .endpointOverride(URI.create(target.getEndpoint()))
+                .credentialsProvider(StaticCredentialsProvider.create(awsCredentials))
+                .region(Region.of(target.getRegion()))
+                .serviceConfiguration(s3Config)
+                .httpClientBuilder(ApacheHttpClient.builder().maxConnections(maxConcurrentRequests))
+                .build();
+    }
+
+    @Override
+    public void destroy() {
+        clients.values().stream()
+                .filter(client -> !externalClients.contains(client))
+                .forEach(S3Client::close);
+        clients.clear();
+    }
+}
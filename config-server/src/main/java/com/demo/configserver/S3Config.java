@@ -6,6 +6,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.S3Configuration;
@@ -39,6 +40,9 @@ public class S3Config {
     @Value("${spring.cloud.config.server.aws-s3.region:us-east-1}")
     private String region;
 
+    @Value("${spring.cloud.config.server.aws-s3.max-concurrent-requests:50}")
+    private int maxConnections;
+
     @Bean
     public S3Client s3Client() {
         LOGGER.info("Configuring S3 client for endpoint: " + s3Endpoint);
@@ -55,6 +59,7 @@ public class S3Config {
                 .credentialsProvider(StaticCredentialsProvider.create(awsCredentials))
                 .region(Region.of(region))
                 .serviceConfiguration(s3Config)
+                .httpClientBuilder(ApacheHttpClient.builder().maxConnections(maxConnections))
                 .build();
 
         LOGGER.info("S3 client configured successfully");
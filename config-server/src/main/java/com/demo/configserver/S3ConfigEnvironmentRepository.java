@@ -1,13 +1,12 @@
 package com.demo.configserver;
 
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.config.environment.Environment;
 import org.springframework.cloud.config.environment.PropertySource;
 import org.springframework.cloud.config.server.environment.EnvironmentRepository;
 import org.springframework.stereotype.Component;
 import software.amazon.awssdk.core.ResponseInputStream;
-import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
@@ -17,6 +16,14 @@ import org.yaml.snakeyaml.Yaml;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
 
 /**
@@ -24,98 +31,245 @@ import java.util.logging.Logger;
  * <p>
  * This implementation simulates DellEMC ECS Storage behavior by reading
  * configuration files from an S3-compatible storage system (MinIO).
+ * <p>
+ * The bucket and S3 client are selected per application by {@link S3ConfigRouter}.
+ * Concurrent S3 requests are bounded by the route's semaphore so that a large number
+ * of (virtual) request threads cannot overload the object store.
  */
 @Component
-public class S3ConfigEnvironmentRepository implements EnvironmentRepository {
+public class S3ConfigEnvironmentRepository implements EnvironmentRepository, DisposableBean {
 
     private static final Logger LOGGER = Logger.getLogger(S3ConfigEnvironmentRepository.class.getName());
     
-    private final S3Client s3Client;
-    private final String bucketName;
-    private final Yaml yaml = new Yaml();
-    
-    @Autowired(required = false)
-    private VcapServicesConfiguration.S3ServiceInfo s3ServiceInfo;
-
-    public S3ConfigEnvironmentRepository(S3Client s3Client, 
-                                       @Value("${spring.cloud.config.server.aws-s3.bucket:#{null}}") String bucketName) {
-        this.s3Client = s3Client;
-        this.bucketName = bucketName;
-        LOGGER.info("Initialized S3ConfigEnvironmentRepository with bucket: " + getBucketName());
-    }
-    
-    /**
-     * Gets the bucket name from VCAP services if available, otherwise uses configured value.
-     */
-    private String getBucketName() {
-        if (s3ServiceInfo != null && s3ServiceInfo.getBucketName() != null) {
-            return s3ServiceInfo.getBucketName();
-        }
-        return bucketName;
+    private final S3ConfigRouter router;
+    private final long acquireTimeoutMillis;
+    private final ExecutorService fetchExecutor;
+
+    public S3ConfigEnvironmentRepository(S3ConfigRouter router,
+                                       @Value("${spring.cloud.config.server.aws-s3.parallel-fetch:${spring.threads.virtual.enabled:false}}") boolean parallelFetch,
+                                       @Value("${spring.cloud.config.server.aws-s3.acquire-timeout-ms:5000}") long acquireTimeoutMillis) {
+        this.router = router;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        // Fetch the application and global files in parallel (defaults to on with virtual threads)
+        this.fetchExecutor = parallelFetch ? Executors.newVirtualThreadPerTaskExecutor() : null;
+        LOGGER.info("Initialized S3ConfigEnvironmentRepository with default bucket: "
+                + router.getDefaultRoute().getBucketName());
+        LOGGER.info("Parallel S3 fetches enabled: " + parallelFetch);
     }
 
     @Override
     public Environment findOne(String application, String profile, String label) {
         LOGGER.info(String.format("Finding configuration for application=%s, profile=%s, label=%s", 
                 application, profile, label));
-        
-        Environment environment = new Environment(application, profile.split(","));
-        
-        // Load application-specific configuration
-        String applicationConfigKey = String.format("%s-%s.yml", application, profile);
-        loadConfigFromS3(environment, applicationConfigKey, String.format("%s-%s", application, profile));
-        
-        // Load global application configuration if exists
-        String globalConfigKey = "application.yml";
-        loadConfigFromS3(environment, globalConfigKey, "application");
-        
-        LOGGER.info(String.format("Loaded %d property sources for %s-%s", 
-                environment.getPropertySources().size(), application, profile));
-        
-        return environment;
+
+        ConfigServerEvents.FindOneEvent event = new ConfigServerEvents.FindOneEvent(application, profile, label);
+        event.begin();
+        event.outcome = "error";
+        try {
+            Environment environment = new Environment(application, profile.split(","));
+            S3ConfigRouter.S3Route route = router.route(application);
+            event.route = route.getName();
+            event.bucket = route.getBucketName();
+
+            // Application-specific configuration first, then global application configuration if exists
+            String applicationConfigKey = String.format("%s-%s.yml", application, profile);
+            String applicationConfigName = String.format("%s-%s", application, profile);
+            String globalConfigKey = "application.yml";
+
+            List<Supplier<LoadResult>> loads = List.of(
+                    () -> loadConfigFromS3(route, application, profile, applicationConfigKey, applicationConfigName),
+                    () -> loadConfigFromS3(route, application, profile, globalConfigKey, "application"));
+            List<LoadResult> results = new ArrayList<>();
+            if (fetchExecutor != null) {
+                results.addAll(loadInParallel(loads));
+            } else {
+                loads.forEach(load -> results.add(load.get()));
+            }
+            results.forEach(result -> addPropertySource(environment, result.propertySource()));
+
+            LOGGER.info(String.format("Loaded %d property sources for %s-%s", 
+                    environment.getPropertySources().size(), application, profile));
+
+            event.propertySources = environment.getPropertySources().size();
+            event.propertyCount = environment.getPropertySources().stream()
+                    .mapToInt(propertySource -> propertySource.getSource().size())
+                    .sum();
+            long failures = results.stream().filter(LoadResult::failed).count();
+            event.failedFiles = (int) failures;
+            event.outcome = failures == 0 ? "ok" : failures < results.size() ? "partial" : "error";
+            return environment;
+        } finally {
+            event.commit();
+        }
     }
 
-    private void loadConfigFromS3(Environment environment, String key, String name) {
+    /**
+     * Runs the loads on the fetch executor and returns their results in submission order.
+     * Results are awaited in completion order, so that when one load fails the others are
+     * cancelled right away instead of holding S3 request slots for a failed request.
+     */
+    private List<LoadResult> loadInParallel(List<Supplier<LoadResult>> loads) {
+        CompletionService<LoadResult> completion = new ExecutorCompletionService<>(fetchExecutor);
+        List<Future<LoadResult>> futures = loads.stream()
+                .map(load -> completion.submit(load::get))
+                .toList();
         try {
-            String currentBucket = getBucketName();
-            LOGGER.info("Attempting to load configuration from S3: " + key + " (bucket: " + currentBucket + ")");
-            
-            GetObjectRequest getObjectRequest = GetObjectRequest.builder()
-                    .bucket(currentBucket)
-                    .key(key)
-                    .build();
+            for (int i = 0; i < futures.size(); i++) {
+                await(completion.take());
+            }
+            return futures.stream().map(this::await).toList();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading configuration from S3", e);
+        } finally {
+            // No-op for completed loads
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private void addPropertySource(Environment environment, PropertySource propertySource) {
+        if (propertySource != null) {
+            environment.add(propertySource);
+        }
+    }
+
+    private LoadResult await(Future<LoadResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading configuration from S3", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Failed to load configuration from S3", e.getCause());
+        }
+    }
+
+    /**
+     * Outcome of loading one file. A missing file is not a failure; read and parse errors are.
+     */
+    private record LoadResult(PropertySource propertySource, boolean failed) {}
+
+    private LoadResult loadConfigFromS3(S3ConfigRouter.S3Route route, String application, String profile,
+                                        String key, String name) {
+        ConfigServerEvents.S3FetchEvent fetchEvent = new ConfigServerEvents.S3FetchEvent(
+                application, profile, route.getBucketName(), key);
+        fetchEvent.begin();
+        acquirePermit(route, fetchEvent);
+        try {
+            String currentBucket = route.getBucketName();
+            LOGGER.info("Attempting to load configuration from S3: " + key + " (bucket: " + currentBucket
+                    + ", route: " + route.getName() + ")");
 
-            ResponseInputStream<GetObjectResponse> s3Object = s3Client.getObject(getObjectRequest);
-            String content = new String(s3Object.readAllBytes(), StandardCharsets.UTF_8);
+            byte[] content = fetchFromS3(route, fetchEvent);
             
             LOGGER.info("Successfully loaded configuration from S3: " + key);
 
-            Map<String, Object> properties = yaml.load(content);
+            Map<String, Object> properties = parseYaml(application, profile, key, content);
             
             if (properties != null) {
-                Map<String, Object> flatProperties = flattenProperties(properties);
-                PropertySource propertySource = new PropertySource(name, flatProperties);
-                environment.add(propertySource);
-                
+                Map<String, Object> flatProperties = flattenProperties(application, profile, key, properties);
                 LOGGER.info(String.format("Added %d properties from %s", flatProperties.size(), key));
+                return new LoadResult(new PropertySource(name, flatProperties), false);
             }
+            return new LoadResult(null, false);
             
         } catch (NoSuchKeyException e) {
             LOGGER.warning("Configuration file not found in S3: " + key);
+            return new LoadResult(null, false);
         } catch (IOException e) {
             LOGGER.severe("Error reading configuration from S3: " + key + ", error: " + e.getMessage());
         } catch (Exception e) {
             LOGGER.severe("Unexpected error loading configuration from S3: " + key + ", error: " + e.getMessage());
+        } finally {
+            route.getPermits().release();
+        }
+        return new LoadResult(null, true);
+    }
+
+    private byte[] fetchFromS3(S3ConfigRouter.S3Route route, ConfigServerEvents.S3FetchEvent event) throws IOException {
+        GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+                .bucket(route.getBucketName())
+                .key(event.key)
+                .build();
+
+        event.outcome = "error";
+        try (ResponseInputStream<GetObjectResponse> s3Object = route.getS3Client().getObject(getObjectRequest)) {
+            byte[] content = s3Object.readAllBytes();
+            event.bytes = content.length;
+            event.outcome = "ok";
+            return content;
+        } catch (NoSuchKeyException e) {
+            event.outcome = "not-found";
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
+
+    private Map<String, Object> parseYaml(String application, String profile, String key, byte[] content) {
+        ConfigServerEvents.YamlParseEvent event = new ConfigServerEvents.YamlParseEvent(
+                application, profile, key, content.length);
+        event.begin();
+        event.outcome = "error";
+        try {
+            // Yaml instances are not thread-safe
+            Map<String, Object> properties = new Yaml().load(new String(content, StandardCharsets.UTF_8));
+            event.outcome = properties != null ? "ok" : "empty";
+            return properties;
+        } finally {
+            event.commit();
+        }
+    }
+
+    /**
+     * Waits for a free S3 request slot. Fails the request rather than queueing
+     * indefinitely when the object store is saturated.
+     */
+    private void acquirePermit(S3ConfigRouter.S3Route route, ConfigServerEvents.S3FetchEvent event) {
+        long start = System.nanoTime();
+        try {
+            if (route.getPermits().tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                event.permitWait = System.nanoTime() - start;
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            event.permitWait = System.nanoTime() - start;
+            event.outcome = "interrupted";
+            event.commit();
+            throw new IllegalStateException("Interrupted while waiting for S3 request slot: " + event.key, e);
+        }
+        event.permitWait = System.nanoTime() - start;
+        event.outcome = "throttled";
+        event.commit();
+        throw new S3ThrottledException("Timed out waiting for S3 request slot: " + event.key);
+    }
+
+    @Override
+    public void destroy() {
+        if (fetchExecutor != null) {
+            fetchExecutor.shutdown();
         }
     }
 
     /**
      * Flattens nested YAML properties into Spring Boot compatible flat properties.
      */
-    private Map<String, Object> flattenProperties(Map<String, Object> properties) {
-        Map<String, Object> flatProperties = new HashMap<>();
-        flattenPropertiesRecursive(properties, "", flatProperties);
-        return flatProperties;
+    private Map<String, Object> flattenProperties(String application, String profile, String key,
+                                                  Map<String, Object> properties) {
+        ConfigServerEvents.FlattenEvent event = new ConfigServerEvents.FlattenEvent(application, profile, key);
+        event.begin();
+        try {
+            Map<String, Object> flatProperties = new HashMap<>();
+            flattenPropertiesRecursive(properties, "", flatProperties);
+            event.propertyCount = flatProperties.size();
+            return flatProperties;
+        } finally {
+            event.commit();
+        }
     }
 
     @SuppressWarnings("unchecked")
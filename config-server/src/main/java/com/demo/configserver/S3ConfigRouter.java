@@ -0,0 +1,155 @@
+package com.demo.configserver;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the S3 bucket and client to use for an application.
+ * <p>
+ * Routing rules from {@link S3RoutingProperties} are compiled once at startup.
+ * Each rule is resolved to a bucket, a pooled {@link S3Client} and that client's
+ * request semaphore; applications
+ * that match no rule use the default bucket and the default S3 client.
+ */
+@Component
+public class S3ConfigRouter {
+
+    private static final Logger LOGGER = Logger.getLogger(S3ConfigRouter.class.getName());
+
+    private final List<RoutingRule> rules = new ArrayList<>();
+    private final S3Route defaultRoute;
+
+    /**
+     * Resolved S3 target for a group of applications.
+     */
+    public static class S3Route {
+        private final String name;
+        private final String bucketName;
+        private final S3Client s3Client;
+        private final Semaphore permits;
+
+        public S3Route(String name, String bucketName, S3Client s3Client, Semaphore permits) {
+            this.name = name;
+            this.bucketName = bucketName;
+            this.s3Client = s3Client;
+            this.permits = permits;
+        }
+
+        public String getName() { return name; }
+        public String getBucketName() { return bucketName; }
+        public S3Client getS3Client() { return s3Client; }
+        public Semaphore getPermits() { return permits; }
+    }
+
+    private record RoutingRule(Pattern pattern, S3Route route) {}
+
+    public S3ConfigRouter(S3Client s3Client,
+                          S3ClientPool clientPool,
+                          S3RoutingProperties routingProperties,
+                          ObjectProvider<VcapServicesConfiguration.S3ServiceInfo> s3ServiceInfo,
+                          ObjectProvider<VcapServicesConfiguration.S3ServiceBindings> s3ServiceBindings,
+                          @Value("${spring.cloud.config.server.aws-s3.endpoint:#{null}}") String endpoint,
+                          @Value("${spring.cloud.config.server.aws-s3.access-key:#{null}}") String accessKey,
+                          @Value("${spring.cloud.config.server.aws-s3.secret-key:#{null}}") String secretKey,
+                          @Value("${spring.cloud.config.server.aws-s3.region:us-east-1}") String region,
+                          @Value("${spring.cloud.config.server.aws-s3.bucket:#{null}}") String bucketName) {
+
+        // Gets the default target from VCAP services if available, otherwise uses configured values
+        VcapServicesConfiguration.S3ServiceInfo defaultTarget = s3ServiceInfo.getIfAvailable();
+        if (defaultTarget == null || defaultTarget.getBucketName() == null) {
+            defaultTarget = new VcapServicesConfiguration.S3ServiceInfo(endpoint, accessKey, secretKey, bucketName, region);
+        }
+        clientPool.register(defaultTarget, s3Client);
+        this.defaultRoute = new S3Route("default", defaultTarget.getBucketName(), s3Client,
+                clientPool.getPermits(defaultTarget));
+
+        VcapServicesConfiguration.S3ServiceBindings bindings = s3ServiceBindings.getIfAvailable();
+        for (S3RoutingProperties.Rule rule : routingProperties.getRules()) {
+            if (rule.getPattern() == null || rule.getPattern().isBlank()) {
+                throw new RuntimeException("S3 routing rule is missing a pattern");
+            }
+
+            VcapServicesConfiguration.S3ServiceInfo base = defaultTarget;
+            if (rule.getBinding() != null) {
+                base = bindings != null ? bindings.get(rule.getBinding()) : null;
+                if (base == null) {
+                    throw new RuntimeException("S3 service binding not found for routing rule "
+                            + rule.getPattern() + ": " + rule.getBinding());
+                }
+            }
+
+            // Clients use an endpoint override, so a region alone would only change the signing region
+            if (rule.getRegion() != null && rule.getEndpoint() == null
+                    && !rule.getRegion().equals(base.getRegion())) {
+                throw new RuntimeException("S3 routing rule " + rule.getPattern() + " sets region "
+                        + rule.getRegion() + " without an endpoint for that region");
+            }
+
+            VcapServicesConfiguration.S3ServiceInfo target = new VcapServicesConfiguration.S3ServiceInfo(
+                    rule.getEndpoint() != null ? rule.getEndpoint() : base.getEndpoint(),
+                    base.getAccessKey(),
+                    base.getSecretKey(),
+                    rule.getBucket() != null ? rule.getBucket() : base.getBucketName(),
+                    rule.getRegion() != null ? rule.getRegion() : base.getRegion());
+
+            S3Route route = new S3Route(rule.getPattern(), target.getBucketName(),
+                    clientPool.getClient(target), clientPool.getPermits(target));
+            rules.add(new RoutingRule(toRegex(rule.getPattern()), route));
+
+            LOGGER.info("Configured S3 route: " + rule.getPattern() + " -> bucket " + target.getBucketName()
+                    + " (endpoint: " + target.getEndpoint() + ", region: " + target.getRegion() + ")");
+        }
+
+        LOGGER.info("Default S3 route uses bucket: " + defaultRoute.getBucketName());
+    }
+
+    /**
+     * Returns the route for the given application name. The first matching rule wins.
+     */
+    public S3Route route(String application) {
+        for (RoutingRule rule : rules) {
+            if (rule.pattern().matcher(application).matches()) {
+                return rule.route();
+            }
+        }
+        return defaultRoute;
+    }
+
+    /**
+     * Returns the route used for applications that match no rule.
+     */
+    public S3Route getDefaultRoute() {
+        return defaultRoute;
+    }
+
+    /**
+     * Converts a glob pattern supporting {@code *} and {@code ?} into a regular expression.
+     */
+    private static Pattern toRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        for (char c : glob.toCharArray()) {
+            if (c == '*' || c == '?') {
+                if (!literal.isEmpty()) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(c == '*' ? ".*" : ".");
+            } else {
+                literal.append(c);
+            }
+        }
+        if (!literal.isEmpty()) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        return Pattern.compile(regex.toString());
+    }
+}
@@ -0,0 +1,68 @@
+package com.demo.configserver;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Routing rules that map application names to S3 targets.
+ * <p>
+ * Each rule matches application names against a glob pattern ({@code *} and {@code ?})
+ * and selects a VCAP service binding, bucket and region. Rules are evaluated in
+ * declaration order and the first match wins. Applications that match no rule are
+ * served from the default bucket.
+ * <p>
+ * A region that differs from the binding's region must come with the endpoint of that
+ * region; otherwise requests would still go to the binding's endpoint.
+ * <p>
+ * Example:
+ * <pre>
+ * spring.cloud.config.server.aws-s3.routing.rules:
+ *   - pattern: billing-*
+ *     binding: billing-s3
+ *     endpoint: https://s3.eu-central-1.amazonaws.com
+ *     region: eu-central-1
+ *   - pattern: shipping-*
+ *     bucket: shipping-config
+ * </pre>
+ */
+@Component
+@ConfigurationProperties(prefix = "spring.cloud.config.server.aws-s3.routing")
+public class S3RoutingProperties {
+
+    private List<Rule> rules = new ArrayList<>();
+
+    public List<Rule> getRules() { return rules; }
+    public void setRules(List<Rule> rules) { this.rules = rules; }
+
+    /**
+     * A single routing rule. Unset fields fall back to the selected binding,
+     * or to the default S3 configuration when no binding is given.
+     * Setting a different region requires setting the endpoint as well.
+     */
+    public static class Rule {
+        private String pattern;
+        private String binding;
+        private String endpoint;
+        private String bucket;
+        private String region;
+
+        // Getters and setters
+        public String getPattern() { return pattern; }
+        public void setPattern(String pattern) { this.pattern = pattern; }
+
+        public String getBinding() { return binding; }
+        public void setBinding(String binding) { this.binding = binding; }
+
+        public String getEndpoint() { return endpoint; }
+        public void setEndpoint(String endpoint) { this.endpoint = endpoint; }
+
+        public String getBucket() { return bucket; }
+        public void setBucket(String bucket) { this.bucket = bucket; }
+
+        public String getRegion() { return region; }
+        public void setRegion(String region) { this.region = region; }
+    }
+}
@@ -0,0 +1,18 @@
+package com.demo.configserver;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when no S3 request slot becomes free within the acquire timeout.
+ * <p>
+ * Mapped to 503 so that Config clients treat it as temporary and retry with backoff
+ * instead of failing on a server error.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class S3ThrottledException extends RuntimeException {
+
+    public S3ThrottledException(String message) {
+        super(message);
+    }
+}
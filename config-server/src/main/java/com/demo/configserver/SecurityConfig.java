@@ -1,7 +1,9 @@
 package com.demo.configserver;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -52,8 +54,17 @@ public class SecurityConfig {
         return new InMemoryUserDetailsManager(configUser, adminUser);
     }
 
+    /**
+     * Authentication provider that records a JFR event for every login attempt.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public AuthenticationProvider authenticationProvider(UserDetailsService userDetailsService,
+                                                         PasswordEncoder passwordEncoder) {
+        return new RecordingAuthenticationProvider(userDetailsService, passwordEncoder);
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder(@Value("${spring.security.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
\ No newline at end of file
@@ -9,11 +9,15 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.S3Configuration;
 
 import java.net.URI;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.logging.Logger;
 
 /**
@@ -36,6 +40,9 @@ public class VcapServicesConfiguration {
     @Value("${spring.cloud.config.server.aws-s3.service-name:s3}")
     private String serviceName;
 
+    @Value("${spring.cloud.config.server.aws-s3.max-concurrent-requests:50}")
+    private int maxConnections;
+
     /**
      * S3 configuration extracted from VCAP_SERVICES.
      */
@@ -74,6 +81,21 @@ public class VcapServicesConfiguration {
         public void setRegion(String region) { this.region = region; }
     }
 
+    /**
+     * All S3 service bindings found in VCAP_SERVICES, keyed by service instance name.
+     */
+    public static class S3ServiceBindings {
+        private final Map<String, S3ServiceInfo> bindings;
+
+        public S3ServiceBindings(Map<String, S3ServiceInfo> bindings) {
+            this.bindings = Collections.unmodifiableMap(bindings);
+        }
+
+        public S3ServiceInfo get(String name) { return bindings.get(name); }
+
+        public Map<String, S3ServiceInfo> getAll() { return bindings; }
+    }
+
     @Bean
     public S3ServiceInfo s3ServiceInfo() {
         try {
@@ -105,9 +127,45 @@ public class VcapServicesConfiguration {
         }
     }
 
-    private JsonNode findServiceArray(JsonNode vcapJson) {
+    @Bean
+    public S3ServiceBindings s3ServiceBindings() {
+        try {
+            JsonNode vcapJson = objectMapper.readTree(vcapServices);
+            Map<String, S3ServiceInfo> bindings = new LinkedHashMap<>();
+
+            for (String label : serviceNames()) {
+                JsonNode serviceArray = vcapJson.get(label);
+                if (serviceArray == null || !serviceArray.isArray()) {
+                    continue;
+                }
+                for (int i = 0; i < serviceArray.size(); i++) {
+                    JsonNode serviceInstance = serviceArray.get(i);
+                    JsonNode nameNode = serviceInstance.get("name");
+                    String name = nameNode != null && !nameNode.isNull() ? nameNode.asText() : label + "-" + i;
+                    JsonNode credentials = serviceInstance.get("credentials");
+                    if (credentials == null || bindings.containsKey(name)) {
+                        continue;
+                    }
+                    try {
+                        bindings.put(name, extractS3ServiceInfo(credentials));
+                        LOGGER.info("Found S3 service binding: " + name + " (label: " + label + ")");
+                    } catch (RuntimeException e) {
+                        LOGGER.warning("Skipping S3 service binding " + name + ": " + e.getMessage());
+                    }
+                }
+            }
+
+            return new S3ServiceBindings(bindings);
+
+        } catch (Exception e) {
+            LOGGER.severe("Failed to parse VCAP_SERVICES: " + e.getMessage());
+            throw new RuntimeException("Failed to parse VCAP_SERVICES for S3 service bindings", e);
+        }
+    }
+
+    private String[] serviceNames() {
         // Try common service names for S3 services
-        String[] serviceNames = {
+        return new String[] {
             serviceName,           // Configured service name
             "s3",                  // Generic S3
             "dell-ecs",            // DellEMC ECS
@@ -115,8 +173,10 @@ public class VcapServicesConfiguration {
             "object-storage",      // Generic object storage
             "aws-s3"               // AWS S3
         };
-        
-        for (String name : serviceNames) {
+    }
+
+    private JsonNode findServiceArray(JsonNode vcapJson) {
+        for (String name : serviceNames()) {
             JsonNode serviceArray = vcapJson.get(name);
             if (serviceArray != null && serviceArray.isArray() && !serviceArray.isEmpty()) {
                 LOGGER.info("Found S3 service under name: " + name);
@@ -201,6 +261,7 @@ public class VcapServicesConfiguration {
                 .credentialsProvider(StaticCredentialsProvider.create(awsCredentials))
                 .region(Region.of(s3ServiceInfo.getRegion()))
                 .serviceConfiguration(s3Config)
+                .httpClientBuilder(ApacheHttpClient.builder().maxConnections(maxConnections))
                 .build();
 
         LOGGER.info("S3 client configured successfully from VCAP services");
@@ -0,0 +1,108 @@
+package com.demo.configserver;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+class RecordingAuthenticationProviderTest {
+
+    private static final String EVENT_NAME = "com.demo.configserver.Authentication";
+
+    @TempDir
+    Path tempDir;
+
+    // Low BCrypt strength keeps the test fast; the code path is the same
+    private final PasswordEncoder passwordEncoder = spy(new BCryptPasswordEncoder(4));
+    private RecordingAuthenticationProvider provider;
+    private Recording recording;
+
+    @BeforeEach
+    void setUp() {
+        provider = new RecordingAuthenticationProvider(new InMemoryUserDetailsManager(User.builder()
+                .username("config-user")
+                .password(passwordEncoder.encode("config-pass"))
+                .roles("USER")
+                .build()), passwordEncoder);
+        recording = new Recording();
+        recording.enable(EVENT_NAME).withoutThreshold();
+        recording.start();
+    }
+
+    @AfterEach
+    void closeRecording() {
+        recording.close();
+    }
+
+    @Test
+    void validCredentialsAreRecordedAsSuccess() throws IOException {
+        Authentication result = provider.authenticate(token("config-user", "config-pass"));
+
+        assertThat(result.isAuthenticated()).isTrue();
+        assertThat(result.getName()).isEqualTo("config-user");
+        assertRecorded("config-user", "success");
+    }
+
+    @Test
+    void wrongPasswordIsRecordedAsBadCredentials() throws IOException {
+        assertThatThrownBy(() -> provider.authenticate(token("config-user", "wrong")))
+                .isExactlyInstanceOf(BadCredentialsException.class)
+                .hasMessage("Bad credentials");
+        assertRecorded("config-user", "bad-credentials");
+    }
+
+    @Test
+    void unknownUserIsHiddenAsBadCredentials() throws IOException {
+        assertThatThrownBy(() -> provider.authenticate(token("intruder", "config-pass")))
+                .isExactlyInstanceOf(BadCredentialsException.class)
+                .hasMessage("Bad credentials");
+        assertRecorded("intruder", "unknown-user");
+    }
+
+    @Test
+    void unknownUserStillRunsPasswordCheck() {
+        assertThatThrownBy(() -> provider.authenticate(token("intruder", "config-pass")))
+                .isInstanceOf(BadCredentialsException.class);
+
+        // Timing-attack mitigation: the presented password is checked against a dummy hash
+        verify(passwordEncoder).matches(eq("config-pass"), any());
+    }
+
+    private void assertRecorded(String username, String outcome) throws IOException {
+        recording.stop();
+        Path file = tempDir.resolve("auth.jfr");
+        recording.dump(file);
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(EVENT_NAME))
+                .toList();
+
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getString("username")).isEqualTo(username);
+        assertThat(events.get(0).getString("outcome")).isEqualTo(outcome);
+    }
+
+    private static UsernamePasswordAuthenticationToken token(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+}
@@ -0,0 +1,175 @@
+package com.demo.configserver;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.config.environment.Environment;
+import org.springframework.cloud.config.environment.PropertySource;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.exception.AbortedException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class S3ConfigEnvironmentRepositoryTest {
+
+    private final S3Client s3Client = mock(S3Client.class);
+    private S3ClientPool clientPool;
+    private S3ConfigRouter router;
+    private S3ConfigEnvironmentRepository repository;
+
+    @AfterEach
+    void close() {
+        if (repository != null) {
+            repository.destroy();
+        }
+        if (clientPool != null) {
+            clientPool.destroy();
+        }
+    }
+
+    @Test
+    void applicationConfigComesBeforeGlobalConfig() {
+        repository = repository(10, false, 1000);
+        stubObjects(0);
+
+        assertThat(names(repository.findOne("demo", "dev", null)))
+                .containsExactly("demo-dev", "application");
+    }
+
+    @Test
+    void parallelFetchKeepsApplicationConfigFirst() {
+        repository = repository(10, true, 1000);
+        // Global file completes first
+        stubObjects(200);
+
+        assertThat(names(repository.findOne("demo", "dev", null)))
+                .containsExactly("demo-dev", "application");
+    }
+
+    @Test
+    void permitsAreReleasedAfterSuccessMissingFileAndError() {
+        repository = repository(2, false, 1000);
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> {
+            String key = invocation.<GetObjectRequest>getArgument(0).key();
+            if (key.equals("application.yml")) {
+                throw SdkClientException.create("Connection reset");
+            }
+            throw NoSuchKeyException.builder().message("missing").build();
+        });
+
+        Environment environment = repository.findOne("demo", "dev", null);
+
+        assertThat(environment.getPropertySources()).isEmpty();
+        assertThat(permits().availablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void timeoutWaitingForPermitIsThrottled() throws InterruptedException {
+        repository = repository(1, false, 50);
+        permits().acquire();
+
+        assertThatThrownBy(() -> repository.findOne("demo", "dev", null))
+                .isInstanceOf(S3ThrottledException.class)
+                .hasMessageContaining("demo-dev.yml");
+        assertThat(S3ThrottledException.class.getAnnotation(ResponseStatus.class).value())
+                .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(permits().availablePermits()).isZero();
+    }
+
+    @Test
+    void interruptWhileWaitingForPermitIsNotThrottling() throws InterruptedException {
+        repository = repository(1, false, 5000);
+        permits().acquire();
+
+        Thread.currentThread().interrupt();
+        try {
+            assertThatThrownBy(() -> repository.findOne("demo", "dev", null))
+                    .isExactlyInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("Interrupted while waiting for S3 request slot");
+        } finally {
+            assertThat(Thread.interrupted()).isTrue();
+        }
+    }
+
+    @Test
+    void failedParallelLoadCancelsTheOtherLoad() throws InterruptedException {
+        repository = repository(1, true, 200);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        // Whichever load gets the only permit blocks until it is cancelled; the other one times out
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> {
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                cancelled.countDown();
+            }
+            throw AbortedException.create("Thread was interrupted");
+        });
+
+        assertThatThrownBy(() -> repository.findOne("demo", "dev", null))
+                .isInstanceOf(S3ThrottledException.class);
+        assertThat(cancelled.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(permits().tryAcquire(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private S3ConfigEnvironmentRepository repository(int maxConcurrentRequests, boolean virtualThreads,
+                                                     long acquireTimeoutMillis) {
+        clientPool = new S3ClientPool(maxConcurrentRequests);
+        router = new S3ConfigRouter(s3Client, clientPool, new S3RoutingProperties(),
+                provider(null), provider(null),
+                "http://localhost:9000", "minio-admin", "minio-password", "us-east-1", "config-bucket");
+        return new S3ConfigEnvironmentRepository(router, virtualThreads, acquireTimeoutMillis);
+    }
+
+    private Semaphore permits() {
+        return router.getDefaultRoute().getPermits();
+    }
+
+    /**
+     * Serves {@code demo-dev.yml} after {@code applicationDelayMillis} and {@code application.yml} at once.
+     */
+    private void stubObjects(long applicationDelayMillis) {
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenAnswer(invocation -> {
+            String key = invocation.<GetObjectRequest>getArgument(0).key();
+            if (key.equals("application.yml")) {
+                return object("global:\n  value: 1\n");
+            }
+            Thread.sleep(applicationDelayMillis);
+            return object("demo:\n  value: 2\n");
+        });
+    }
+
+    private static ResponseInputStream<GetObjectResponse> object(String yaml) {
+        return new ResponseInputStream<>(GetObjectResponse.builder().build(),
+                AbortableInputStream.create(new ByteArrayInputStream(yaml.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private static List<String> names(Environment environment) {
+        return environment.getPropertySources().stream().map(PropertySource::getName).toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ObjectProvider<T> provider(T value) {
+        ObjectProvider<T> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(value);
+        return provider;
+    }
+}
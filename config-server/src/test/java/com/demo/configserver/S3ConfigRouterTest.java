@@ -0,0 +1,176 @@
+package com.demo.configserver;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class S3ConfigRouterTest {
+
+    private final S3Client defaultClient = mock(S3Client.class);
+    private final S3ClientPool clientPool = new S3ClientPool(10);
+
+    @AfterEach
+    void closeClients() {
+        clientPool.destroy();
+    }
+
+    @Test
+    void unmatchedApplicationUsesDefaultRoute() {
+        S3ConfigRouter router = router(List.of(rule("billing-*", null, "billing-config")), null);
+
+        S3ConfigRouter.S3Route route = router.route("shipping-api");
+
+        assertThat(route).isSameAs(router.getDefaultRoute());
+        assertThat(route.getBucketName()).isEqualTo("config-bucket");
+        assertThat(route.getS3Client()).isSameAs(defaultClient);
+    }
+
+    @Test
+    void starMatchesAnySequence() {
+        S3ConfigRouter router = router(List.of(rule("billing-*", null, "billing-config")), null);
+
+        assertThat(router.route("billing-api").getBucketName()).isEqualTo("billing-config");
+        assertThat(router.route("billing-").getBucketName()).isEqualTo("billing-config");
+        assertThat(router.route("my-billing-api").getBucketName()).isEqualTo("config-bucket");
+    }
+
+    @Test
+    void questionMarkMatchesSingleCharacter() {
+        S3ConfigRouter router = router(List.of(rule("svc-?", null, "svc-config")), null);
+
+        assertThat(router.route("svc-a").getBucketName()).isEqualTo("svc-config");
+        assertThat(router.route("svc-ab").getBucketName()).isEqualTo("config-bucket");
+        assertThat(router.route("svc-").getBucketName()).isEqualTo("config-bucket");
+    }
+
+    @Test
+    void regexMetacharactersInPatternAreLiteral() {
+        S3ConfigRouter router = router(List.of(rule("app.v1+(x)[*]", null, "literal-config")), null);
+
+        assertThat(router.route("app.v1+(x)[beta]").getBucketName()).isEqualTo("literal-config");
+        assertThat(router.route("appXv1+(x)[beta]").getBucketName()).isEqualTo("config-bucket");
+        assertThat(router.route("app.v11(x)[beta]").getBucketName()).isEqualTo("config-bucket");
+    }
+
+    @Test
+    void firstMatchingRuleWins() {
+        S3ConfigRouter router = router(List.of(
+                rule("billing-*", null, "billing-config"),
+                rule("*", null, "catch-all-config")), null);
+
+        assertThat(router.route("billing-api").getBucketName()).isEqualTo("billing-config");
+        assertThat(router.route("shipping-api").getBucketName()).isEqualTo("catch-all-config");
+    }
+
+    @Test
+    void ruleWithoutTargetOverridesReusesDefaultClient() {
+        S3ConfigRouter router = router(List.of(rule("shipping-*", null, "shipping-config")), null);
+
+        assertThat(router.route("shipping-api").getS3Client()).isSameAs(defaultClient);
+    }
+
+    @Test
+    void ruleWithBindingUsesBindingTarget() {
+        VcapServicesConfiguration.S3ServiceInfo billing = new VcapServicesConfiguration.S3ServiceInfo(
+                "http://billing-s3:9000", "billing-access", "billing-secret", "billing-bucket", "us-east-1");
+        S3ConfigRouter router = router(List.of(rule("billing-*", "billing-s3", null)),
+                new VcapServicesConfiguration.S3ServiceBindings(Map.of("billing-s3", billing)));
+
+        S3ConfigRouter.S3Route route = router.route("billing-api");
+
+        assertThat(route.getBucketName()).isEqualTo("billing-bucket");
+        assertThat(route.getS3Client()).isNotSameAs(defaultClient);
+    }
+
+    @Test
+    void routesToDifferentClientsHaveSeparatePermits() {
+        S3RoutingProperties.Rule regional = rule("billing-*", null, null);
+        regional.setRegion("eu-central-1");
+        regional.setEndpoint("https://s3.eu-central-1.amazonaws.com");
+        S3ConfigRouter router = router(List.of(regional, rule("shipping-*", null, "shipping-config")), null);
+
+        assertThat(router.route("billing-api").getPermits())
+                .isNotSameAs(router.getDefaultRoute().getPermits());
+        assertThat(router.route("shipping-api").getPermits())
+                .isSameAs(router.getDefaultRoute().getPermits());
+        assertThat(router.getDefaultRoute().getPermits().availablePermits()).isEqualTo(10);
+    }
+
+    @Test
+    void unknownBindingFailsAtStartup() {
+        VcapServicesConfiguration.S3ServiceBindings bindings =
+                new VcapServicesConfiguration.S3ServiceBindings(Map.of());
+
+        assertThatThrownBy(() -> router(List.of(rule("billing-*", "billing-s3", null)), bindings))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("billing-s3");
+    }
+
+    @Test
+    void bindingWithoutVcapServicesFailsAtStartup() {
+        assertThatThrownBy(() -> router(List.of(rule("billing-*", "billing-s3", null)), null))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("billing-s3");
+    }
+
+    @Test
+    void regionWithoutEndpointFailsAtStartup() {
+        S3RoutingProperties.Rule rule = rule("billing-*", null, null);
+        rule.setRegion("eu-central-1");
+
+        assertThatThrownBy(() -> router(List.of(rule), null))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("eu-central-1");
+    }
+
+    @Test
+    void regionWithEndpointIsAccepted() {
+        S3RoutingProperties.Rule rule = rule("billing-*", null, null);
+        rule.setRegion("eu-central-1");
+        rule.setEndpoint("https://s3.eu-central-1.amazonaws.com");
+
+        S3ConfigRouter router = router(List.of(rule), null);
+
+        assertThat(router.route("billing-api").getS3Client()).isNotSameAs(defaultClient);
+    }
+
+    @Test
+    void ruleWithoutPatternFailsAtStartup() {
+        assertThatThrownBy(() -> router(List.of(rule(null, null, "billing-config")), null))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("pattern");
+    }
+
+    private S3ConfigRouter router(List<S3RoutingProperties.Rule> rules,
+                                  VcapServicesConfiguration.S3ServiceBindings bindings) {
+        S3RoutingProperties routingProperties = new S3RoutingProperties();
+        routingProperties.setRules(rules);
+        return new S3ConfigRouter(defaultClient, clientPool, routingProperties,
+                provider(null), provider(bindings),
+                "http://localhost:9000", "minio-admin", "minio-password", "us-east-1", "config-bucket");
+    }
+
+    private static S3RoutingProperties.Rule rule(String pattern, String binding, String bucket) {
+        S3RoutingProperties.Rule rule = new S3RoutingProperties.Rule();
+        rule.setPattern(pattern);
+        rule.setBinding(binding);
+        rule.setBucket(bucket);
+        return rule;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ObjectProvider<T> provider(T value) {
+        ObjectProvider<T> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(value);
+        return provider;
+    }
+}
@@ -0,0 +1,35 @@
+#!/bin/bash
+
+# Config Server Load Test Script
+# Runs the load-test harness against the real Config Server jar using an
+# embedded fake S3 endpoint, so neither MinIO nor network access is required.
+# All arguments are passed to the driver, e.g.:
+#   ./load-test.sh --applications=50 --instances=20 --latency-ms=50 --error-rate=0.01
+
+set -e
+
+echo "📈 Running Config Server Load Test"
+echo "=================================="
+
+# Colors for output
+GREEN='\033[0;32m'
+BLUE='\033[0;34m'
+NC='\033[0m' # No Color
+
+print_status() {
+    echo -e "${BLUE}[INFO]${NC} $1"
+}
+
+print_success() {
+    echo -e "${GREEN}[SUCCESS]${NC} $1"
+}
+
+mkdir -p logs
+
+print_status "Building Config Server and load-test harness..."
+mvn -q -pl config-server,load-test -am package -DskipTests
+print_success "Build completed"
+
+java -jar load-test/target/load-test-1.0.0.jar "$@"
+
+print_success "Load test completed"
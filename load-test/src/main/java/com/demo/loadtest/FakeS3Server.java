@@ -0,0 +1,173 @@
+package com.demo.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Embedded S3 stand-in for load testing without MinIO.
+ * <p>
+ * Serves path-style {@code GET /{bucket}/{key}} requests from a generated bucket of
+ * {@code applications x profiles} YAML files plus a global {@code application.yml}.
+ * Every request can be delayed by a fixed latency plus random jitter and can fail
+ * with {@code 503 SlowDown} at a configurable rate. Request counts are recorded so
+ * the driver can report S3 request amplification.
+ */
+public class FakeS3Server implements AutoCloseable {
+
+    private static final Logger LOGGER = Logger.getLogger(FakeS3Server.class.getName());
+
+    static {
+        // The JDK server closes keep-alive connections beyond 200 idle ones without telling the
+        // client, so pooled S3 clients fail their next request on them under high concurrency
+        if (System.getProperty("sun.net.httpserver.maxIdleConnections") == null) {
+            System.setProperty("sun.net.httpserver.maxIdleConnections", "100000");
+        }
+    }
+
+    private final String bucket;
+    private final long latencyMillis;
+    private final long jitterMillis;
+    private final double errorRate;
+    private final Map<String, byte[]> objects = new HashMap<>();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong errorCount = new AtomicLong();
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public FakeS3Server(int port, String bucket, int applications, int profiles, int propertiesPerFile,
+                        long latencyMillis, long jitterMillis, double errorRate) throws IOException {
+        this.bucket = bucket;
+        this.latencyMillis = latencyMillis;
+        this.jitterMillis = jitterMillis;
+        this.errorRate = errorRate;
+
+        objects.put("application.yml", generateYaml("application", propertiesPerFile));
+        for (int a = 0; a < applications; a++) {
+            for (int p = 0; p < profiles; p++) {
+                String name = applicationName(a) + "-" + profileName(p);
+                objects.put(name + ".yml", generateYaml(name, propertiesPerFile));
+            }
+        }
+
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 1024);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(executor);
+    }
+
+    public static String applicationName(int index) {
+        return String.format("load-app-%03d", index);
+    }
+
+    public static String profileName(int index) {
+        return "profile-" + index;
+    }
+
+    public void start() {
+        server.start();
+        LOGGER.info(String.format("Fake S3 serving %d objects from bucket %s at %s (latency %d+/-%d ms, error rate %.3f)",
+                objects.size(), bucket, getEndpoint(), latencyMillis, jitterMillis, errorRate));
+    }
+
+    public String getEndpoint() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public String getBucket() { return bucket; }
+
+    public long getRequestCount() { return requestCount.get(); }
+
+    public long getErrorCount() { return errorCount.get(); }
+
+    public void resetCounters() {
+        requestCount.set(0);
+        errorCount.set(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requestCount.incrementAndGet();
+            delay();
+
+            String path = exchange.getRequestURI().getPath();
+            String prefix = "/" + bucket + "/";
+            if (!"GET".equals(exchange.getRequestMethod()) || !path.startsWith(prefix)) {
+                sendError(exchange, 400, "InvalidRequest", "Only path-style GetObject is supported");
+                return;
+            }
+
+            if (errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                errorCount.incrementAndGet();
+                sendError(exchange, 503, "SlowDown", "Injected error");
+                return;
+            }
+
+            byte[] body = objects.get(path.substring(prefix.length()));
+            if (body == null) {
+                sendError(exchange, 404, "NoSuchKey", "The specified key does not exist.");
+                return;
+            }
+
+            exchange.getResponseHeaders().set("Content-Type", "application/x-yaml");
+            exchange.getResponseHeaders().set("ETag", "\"" + Integer.toHexString(Arrays.hashCode(body)) + "\"");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private void delay() {
+        long millis = latencyMillis;
+        if (jitterMillis > 0) {
+            millis += ThreadLocalRandom.current().nextLong(jitterMillis + 1);
+        }
+        if (millis > 0) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void sendError(HttpExchange exchange, int status, String code, String message) throws IOException {
+        byte[] body = String.format("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<Error><Code>%s</Code><Message>%s</Message><BucketName>%s</BucketName></Error>",
+                code, message, bucket).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static byte[] generateYaml(String name, int properties) {
+        StringBuilder yaml = new StringBuilder();
+        yaml.append("demo:\n");
+        yaml.append("  source: ").append(name).append('\n');
+        yaml.append("  settings:\n");
+        for (int i = 0; i < properties; i++) {
+            yaml.append("    key-").append(i).append(": value-").append(name).append('-').append(i).append('\n');
+        }
+        return yaml.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
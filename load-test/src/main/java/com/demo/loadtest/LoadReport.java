@@ -0,0 +1,102 @@
+package com.demo.loadtest;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Results of one load scenario: client latencies, failures and S3 request amplification.
+ * <p>
+ * Throughput and latency percentiles cover successful requests only, so that client
+ * timeouts are not reported as served load. Failures are reported with their own p50.
+ */
+public class LoadReport {
+
+    private final String scenario;
+    private final ConcurrentLinkedQueue<Long> successLatenciesNanos = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Long> failureLatenciesNanos = new ConcurrentLinkedQueue<>();
+    private long durationNanos;
+    private long s3Requests;
+    private long s3Errors;
+    private String serverUsage = "";
+
+    public LoadReport(String scenario) {
+        this.scenario = scenario;
+    }
+
+    public void recordSuccess(long latencyNanos) {
+        successLatenciesNanos.add(latencyNanos);
+    }
+
+    public void recordFailure(long latencyNanos) {
+        failureLatenciesNanos.add(latencyNanos);
+    }
+
+    /**
+     * Records the S3 request counters for the scenario.
+     */
+    public void complete(long s3Requests, long s3Errors) {
+        this.s3Requests = s3Requests;
+        this.s3Errors = s3Errors;
+    }
+
+    /**
+     * Records the Config Server's peak heap, resident memory and live platform threads during the
+     * scenario. Values that could not be sampled are reported as n/a.
+     */
+    public void serverUsage(long peakHeapBytes, long peakRssBytes, long peakThreads) {
+        if (peakHeapBytes == 0) {
+            this.serverUsage = "  server usage n/a";
+            return;
+        }
+        this.serverUsage = String.format("  heap %4d MB  RSS %s  threads %4d", toMegabytes(peakHeapBytes),
+                peakRssBytes > 0 ? String.format("%4d MB", toMegabytes(peakRssBytes)) : "    n/a", peakThreads);
+    }
+
+    /**
+     * Records the wall-clock time in which all requests were sent and completed.
+     * Only meaningful when requests start together; scenarios that spread their
+     * start times leave it unset and report no throughput.
+     */
+    public void throughputWindow(long durationNanos) {
+        this.durationNanos = durationNanos;
+    }
+
+    /**
+     * Formats the report as a single summary line.
+     */
+    public String summary() {
+        long[] sorted = sorted(successLatenciesNanos);
+        long[] failed = sorted(failureLatenciesNanos);
+        int successes = sorted.length;
+        int requests = successes + failed.length;
+        double seconds = durationNanos / 1_000_000_000.0;
+        String throughput = seconds > 0 ? String.format("%9.1f req/s", successes / seconds) : "      n/a req/s";
+
+        return String.format("%-14s requests %7d  failures %5d (p50 %7.1f ms)  %s  p50 %7.1f ms  p99 %7.1f ms"
+                        + "  p999 %7.1f ms  max %7.1f ms  S3 requests %7d (errors %d, %.2f per fetch)",
+                scenario, requests, failed.length, percentileMillis(failed, 0.50), throughput,
+                percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.99), percentileMillis(sorted, 0.999),
+                successes > 0 ? toMillis(sorted[successes - 1]) : 0,
+                s3Requests, s3Errors, requests > 0 ? (double) s3Requests / requests : 0) + serverUsage;
+    }
+
+    private static long[] sorted(ConcurrentLinkedQueue<Long> latenciesNanos) {
+        return latenciesNanos.stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+
+    static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return toMillis(sorted[Math.max(0, Math.min(index, sorted.length - 1))]);
+    }
+
+    private static long toMegabytes(long bytes) {
+        return bytes / (1024 * 1024);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
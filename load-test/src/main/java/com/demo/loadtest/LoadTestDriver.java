@@ -0,0 +1,337 @@
+package com.demo.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Load-test driver for the Config Server.
+ * <p>
+ * Starts a {@link FakeS3Server}, launches the real Config Server jar against it and
+ * replays two scenarios:
+ * <ul>
+ *   <li><b>restart-storm</b> - every client instance fetches its configuration at the same moment</li>
+ *   <li><b>refresh-wave</b> - every client instance refreshes at a random point within a time window</li>
+ * </ul>
+ * Options are passed as {@code --name=value}; see {@link #DEFAULTS} for the available names.
+ * With {@code --server-url} an already running Config Server is used instead; it must be
+ * configured with the fake S3 endpoint, bucket and port printed at startup.
+ * <p>
+ * A server started by the driver runs with the {@code load-test} profile (cheap password
+ * hashing, quiet logging) and is sampled for peak heap, resident memory and threads.
+ * Empty {@code parallel-fetch}, {@code s3-max-concurrent} and {@code s3-acquire-timeout-ms}
+ * keep the server defaults. A response counts as successful only if it contains both the
+ * application and the global property source.
+ */
+public class LoadTestDriver {
+
+    private static final Logger LOGGER = Logger.getLogger(LoadTestDriver.class.getName());
+
+    private static final Map<String, String> DEFAULTS = Map.ofEntries(
+            Map.entry("applications", "20"),
+            Map.entry("profiles", "3"),
+            Map.entry("instances", "10"),
+            Map.entry("properties", "50"),
+            Map.entry("latency-ms", "20"),
+            Map.entry("jitter-ms", "30"),
+            Map.entry("error-rate", "0.0"),
+            Map.entry("storm-rounds", "3"),
+            Map.entry("wave-rounds", "3"),
+            Map.entry("wave-spread-ms", "5000"),
+            Map.entry("bucket", "load-bucket"),
+            Map.entry("s3-port", "0"),
+            Map.entry("server-url", ""),
+            Map.entry("server-jar", "config-server/target/config-server-1.0.0.jar"),
+            Map.entry("server-port", "18888"),
+            Map.entry("management-port", "18889"),
+            Map.entry("server-heap", "256m"),
+            Map.entry("virtual-threads", "false"),
+            Map.entry("parallel-fetch", ""),
+            Map.entry("s3-max-concurrent", ""),
+            Map.entry("s3-acquire-timeout-ms", ""),
+            Map.entry("user", "config-user"),
+            Map.entry("password", "config-pass"),
+            Map.entry("report", "logs/load-test-report.txt")
+    );
+
+    private final Map<String, String> options;
+    private final HttpClient httpClient;
+    private final String authorization;
+
+    public LoadTestDriver(Map<String, String> options) {
+        this.options = options;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        this.authorization = "Basic " + Base64.getEncoder().encodeToString(
+                (options.get("user") + ":" + options.get("password")).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            if (!DEFAULTS.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown option: " + name + ", expected one of " + DEFAULTS.keySet());
+            }
+            options.put(name, arg.substring(arg.indexOf('=') + 1));
+        }
+
+        new LoadTestDriver(options).run();
+    }
+
+    public void run() throws Exception {
+        try (FakeS3Server s3 = new FakeS3Server(
+                intOption("s3-port"),
+                options.get("bucket"),
+                intOption("applications"),
+                intOption("profiles"),
+                intOption("properties"),
+                longOption("latency-ms"),
+                longOption("jitter-ms"),
+                Double.parseDouble(options.get("error-rate")))) {
+            s3.start();
+
+            Process server = null;
+            ServerMonitor monitor = null;
+            String serverUrl = options.get("server-url");
+            try {
+                if (serverUrl.isEmpty()) {
+                    server = startConfigServer(s3);
+                    serverUrl = "http://localhost:" + options.get("server-port");
+                    String managementUrl = "http://localhost:" + options.get("management-port") + "/actuator";
+                    awaitHealthy(managementUrl + "/health", server);
+                    monitor = new ServerMonitor(httpClient, managementUrl + "/metrics", authorization, server.pid());
+                    monitor.start();
+                }
+
+                List<String> urls = clientUrls(serverUrl);
+                LOGGER.info(String.format("Simulating %d client instances against %s", urls.size(), serverUrl));
+
+                // Warm up JIT and connection pools before measuring
+                runRound(urls, 0, new LoadReport("warmup"));
+                s3.resetCounters();
+
+                List<LoadReport> reports = new ArrayList<>();
+                reports.add(runScenario("restart-storm", urls, intOption("storm-rounds"), 0, s3, monitor));
+                reports.add(runScenario("refresh-wave", urls, intOption("wave-rounds"), longOption("wave-spread-ms"),
+                        s3, monitor));
+
+                writeReport(reports);
+            } finally {
+                if (monitor != null) {
+                    monitor.close();
+                }
+                if (server != null) {
+                    server.destroy();
+                    if (!server.waitFor(30, TimeUnit.SECONDS)) {
+                        server.destroyForcibly();
+                    }
+                }
+            }
+        }
+    }
+
+    private List<String> clientUrls(String serverUrl) {
+        List<String> urls = new ArrayList<>();
+        for (int a = 0; a < intOption("applications"); a++) {
+            for (int p = 0; p < intOption("profiles"); p++) {
+                for (int i = 0; i < intOption("instances"); i++) {
+                    urls.add(serverUrl + "/" + FakeS3Server.applicationName(a) + "/" + FakeS3Server.profileName(p));
+                }
+            }
+        }
+        return urls;
+    }
+
+    private LoadReport runScenario(String name, List<String> urls, int rounds, long spreadMillis, FakeS3Server s3,
+                                   ServerMonitor monitor) throws InterruptedException {
+        LOGGER.info(String.format("Running %s: %d rounds of %d requests", name, rounds, urls.size()));
+        LoadReport report = new LoadReport(name);
+        s3.resetCounters();
+        if (monitor != null) {
+            monitor.reset();
+        }
+
+        long durationNanos = 0;
+        for (int round = 0; round < rounds; round++) {
+            durationNanos += runRound(urls, spreadMillis, report);
+        }
+
+        // With spread start times the round duration mostly reflects the spread itself
+        if (spreadMillis == 0) {
+            report.throughputWindow(durationNanos);
+        }
+        report.complete(s3.getRequestCount(), s3.getErrorCount());
+        if (monitor != null) {
+            report.serverUsage(monitor.getPeakHeapBytes(), monitor.getPeakRssBytes(), monitor.getPeakThreads());
+        }
+        return report;
+    }
+
+    /**
+     * Sends one request per URL, each starting at a random offset within {@code spreadMillis}.
+     * Returns the wall-clock duration of the round.
+     */
+    private long runRound(List<String> urls, long spreadMillis, LoadReport report) throws InterruptedException {
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String url : urls) {
+                long offset = spreadMillis > 0 ? ThreadLocalRandom.current().nextLong(spreadMillis) : 0;
+                clients.submit(() -> {
+                    if (offset > 0) {
+                        Thread.sleep(offset);
+                    }
+                    fetch(url, report);
+                    return null;
+                });
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private void fetch(String url, LoadReport report) {
+        URI uri = URI.create(url);
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Authorization", authorization)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+
+        // The server answers 200 even when a file could not be loaded, so check the property sources
+        String[] path = uri.getPath().split("/");
+        String applicationSource = "\"name\":\"" + path[path.length - 2] + "-" + path[path.length - 1] + "\"";
+        String globalSource = "\"name\":\"application\"";
+
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 200
+                    && response.body().contains(applicationSource) && response.body().contains(globalSource)) {
+                report.recordSuccess(System.nanoTime() - start);
+            } else {
+                report.recordFailure(System.nanoTime() - start);
+            }
+        } catch (IOException e) {
+            report.recordFailure(System.nanoTime() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            report.recordFailure(System.nanoTime() - start);
+        }
+    }
+
+    private Process startConfigServer(FakeS3Server s3) throws IOException {
+        File jar = new File(options.get("server-jar"));
+        if (!jar.isFile()) {
+            throw new IllegalStateException("Config Server jar not found: " + jar
+                    + " (build it with: mvn -pl config-server package -DskipTests)");
+        }
+
+        Files.createDirectories(Path.of("logs"));
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        ProcessBuilder builder = new ProcessBuilder(java,
+                "-Xmx" + options.get("server-heap"),
+                "-jar", jar.getPath(),
+                "--server.port=" + options.get("server-port"),
+                "--management.server.port=" + options.get("management-port"));
+
+        Map<String, String> env = builder.environment();
+        env.remove("VCAP_SERVICES");
+        env.put("SPRING_PROFILES_ACTIVE", "local,load-test");
+        env.put("S3_ENDPOINT", s3.getEndpoint());
+        env.put("S3_BUCKET", s3.getBucket());
+        env.put("S3_ACCESS_KEY", "load-test");
+        env.put("S3_SECRET_KEY", "load-test");
+        env.put("VIRTUAL_THREADS_ENABLED", options.get("virtual-threads"));
+        if (!options.get("parallel-fetch").isEmpty()) {
+            env.put("S3_PARALLEL_FETCH", options.get("parallel-fetch"));
+        }
+        if (!options.get("s3-max-concurrent").isEmpty()) {
+            env.put("S3_MAX_CONCURRENT_REQUESTS", options.get("s3-max-concurrent"));
+        }
+        if (!options.get("s3-acquire-timeout-ms").isEmpty()) {
+            env.put("S3_ACQUIRE_TIMEOUT_MS", options.get("s3-acquire-timeout-ms"));
+        }
+
+        builder.redirectErrorStream(true);
+        builder.redirectOutput(new File("logs/load-test-config-server.log"));
+
+        LOGGER.info("Starting Config Server from " + jar + " (virtual threads: " + options.get("virtual-threads")
+                + ", parallel fetch: " + options.get("parallel-fetch") + ")");
+        return builder.start();
+    }
+
+    private void awaitHealthy(String healthUrl, Process server) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(healthUrl)).GET().build();
+        for (int i = 0; i < 120; i++) {
+            if (!server.isAlive()) {
+                throw new IllegalStateException("Config Server exited, see logs/load-test-config-server.log");
+            }
+            try {
+                if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    LOGGER.info("Config Server is ready");
+                    return;
+                }
+            } catch (IOException e) {
+                // Not accepting connections yet
+            }
+            Thread.sleep(1000);
+        }
+        throw new IllegalStateException("Config Server failed to start within 120 seconds");
+    }
+
+    private void writeReport(List<LoadReport> reports) throws IOException {
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("Load test: %s applications x %s profiles x %s instances, S3 latency %s+%s ms, "
+                        + "error rate %s, virtual threads %s, parallel fetch %s, S3 max concurrent %s%n",
+                options.get("applications"), options.get("profiles"), options.get("instances"),
+                options.get("latency-ms"), options.get("jitter-ms"), options.get("error-rate"),
+                options.get("virtual-threads"), orDefault(options.get("parallel-fetch")),
+                orDefault(options.get("s3-max-concurrent"))));
+        for (LoadReport report : reports) {
+            text.append(report.summary()).append(System.lineSeparator());
+        }
+
+        System.out.print(text);
+        Path reportFile = Path.of(options.get("report"));
+        if (reportFile.getParent() != null) {
+            Files.createDirectories(reportFile.getParent());
+        }
+        Files.writeString(reportFile, text);
+        LOGGER.info("Report written to " + reportFile);
+    }
+
+    private static String orDefault(String value) {
+        return value.isEmpty() ? "default" : value;
+    }
+
+    private int intOption(String name) {
+        return Integer.parseInt(options.get(name));
+    }
+
+    private long longOption(String name) {
+        return Long.parseLong(options.get(name));
+    }
+}
@@ -0,0 +1,116 @@
+package com.demo.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Samples the Config Server's heap, live threads and resident memory while a scenario runs.
+ * <p>
+ * Heap and thread counts come from the actuator metrics endpoint; resident memory is read
+ * from {@code /proc/<pid>/status} and is only available for a server started by the driver
+ * on Linux. Peaks are kept until {@link #reset()}.
+ */
+public class ServerMonitor implements AutoCloseable {
+
+    private static final Pattern METRIC_VALUE = Pattern.compile("\"value\"\\s*:\\s*([0-9.Ee+-]+)");
+    private static final Pattern RSS_KB = Pattern.compile("VmRSS:\\s+(\\d+) kB");
+
+    private final HttpClient httpClient;
+    private final String metricsUrl;
+    private final String authorization;
+    private final Long pid;
+    private final AtomicLong peakHeapBytes = new AtomicLong();
+    private final AtomicLong peakRssBytes = new AtomicLong();
+    private final AtomicLong peakThreads = new AtomicLong();
+    private final Thread sampler;
+
+    public ServerMonitor(HttpClient httpClient, String metricsUrl, String authorization, Long pid) {
+        this.httpClient = httpClient;
+        this.metricsUrl = metricsUrl;
+        this.authorization = authorization;
+        this.pid = pid;
+        this.sampler = Thread.ofVirtual().name("server-monitor").unstarted(this::sample);
+    }
+
+    public void start() {
+        sampler.start();
+    }
+
+    public void reset() {
+        peakHeapBytes.set(0);
+        peakRssBytes.set(0);
+        peakThreads.set(0);
+    }
+
+    public long getPeakHeapBytes() { return peakHeapBytes.get(); }
+
+    public long getPeakRssBytes() { return peakRssBytes.get(); }
+
+    public long getPeakThreads() { return peakThreads.get(); }
+
+    private void sample() {
+        try {
+            while (true) {
+                try {
+                    peakHeapBytes.accumulateAndGet((long) metric("jvm.memory.used?tag=area:heap"), Math::max);
+                    peakThreads.accumulateAndGet((long) metric("jvm.threads.live"), Math::max);
+                    if (pid != null) {
+                        peakRssBytes.accumulateAndGet(rssBytes(), Math::max);
+                    }
+                } catch (IOException e) {
+                    // Server busy or shutting down; try again with the next sample
+                }
+                Thread.sleep(200);
+            }
+        } catch (InterruptedException e) {
+            // Closed
+        }
+    }
+
+    private double metric(String name) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(metricsUrl + "/" + name))
+                .header("Authorization", authorization)
+                .timeout(Duration.ofSeconds(5))
+                .GET()
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("Metric " + name + " returned " + response.statusCode());
+        }
+        return metricValue(response.body());
+    }
+
+    private long rssBytes() throws IOException {
+        Path status = Path.of("/proc", pid.toString(), "status");
+        if (!Files.isReadable(status)) {
+            return 0;
+        }
+        Matcher matcher = RSS_KB.matcher(Files.readString(status));
+        return matcher.find() ? Long.parseLong(matcher.group(1)) * 1024 : 0;
+    }
+
+    /**
+     * Extracts the first measurement value from an actuator metric response.
+     */
+    static double metricValue(String json) throws IOException {
+        Matcher matcher = METRIC_VALUE.matcher(json);
+        if (!matcher.find()) {
+            throw new IOException("No measurement in metric response: " + json);
+        }
+        return Double.parseDouble(matcher.group(1));
+    }
+
+    @Override
+    public void close() {
+        sampler.interrupt();
+    }
+}
@@ -0,0 +1,82 @@
+package com.demo.loadtest;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.awscore.retry.AwsRetryStrategy;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.IOException;
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FakeS3ServerTest {
+
+    private FakeS3Server server;
+    private S3Client s3Client;
+
+    @AfterEach
+    void stop() {
+        if (s3Client != null) {
+            s3Client.close();
+        }
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    void getObjectReturnsGeneratedYaml() throws IOException {
+        start(0.0);
+
+        ResponseBytes<GetObjectResponse> object = s3Client.getObjectAsBytes(b -> b
+                .bucket("load-bucket")
+                .key(FakeS3Server.applicationName(0) + "-" + FakeS3Server.profileName(0) + ".yml"));
+
+        assertThat(object.asUtf8String())
+                .contains("source: load-app-000-profile-0")
+                .contains("key-4: value-load-app-000-profile-0-4");
+        assertThat(server.getRequestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void missingKeyMapsToNoSuchKey() throws IOException {
+        start(0.0);
+
+        assertThatThrownBy(() -> s3Client.getObjectAsBytes(b -> b.bucket("load-bucket").key("missing.yml")))
+                .isInstanceOf(NoSuchKeyException.class);
+        assertThat(server.getErrorCount()).isZero();
+    }
+
+    @Test
+    void injectedErrorsAreRetriedAndCounted() throws IOException {
+        start(1.0);
+
+        assertThatThrownBy(() -> s3Client.getObjectAsBytes(b -> b.bucket("load-bucket").key("application.yml")))
+                .isInstanceOf(S3Exception.class)
+                .satisfies(e -> assertThat(((S3Exception) e).statusCode()).isEqualTo(503));
+        assertThat(server.getRequestCount()).isEqualTo(3);
+        assertThat(server.getErrorCount()).isEqualTo(3);
+    }
+
+    private void start(double errorRate) throws IOException {
+        server = new FakeS3Server(0, "load-bucket", 2, 2, 5, 0, 0, errorRate);
+        server.start();
+        s3Client = S3Client.builder()
+                .endpointOverride(URI.create(server.getEndpoint()))
+                .region(Region.US_EAST_1)
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("test", "test")))
+                .forcePathStyle(true)
+                .overrideConfiguration(o -> o.retryStrategy(
+                        AwsRetryStrategy.standardRetryStrategy().toBuilder().maxAttempts(3).build()))
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package com.demo.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoadReportTest {
+
+    @Test
+    void percentilesUseNearestRank() {
+        long[] sorted = LongStream.rangeClosed(1, 1000).map(TimeUnit.MILLISECONDS::toNanos).toArray();
+
+        assertThat(LoadReport.percentileMillis(sorted, 0.50)).isEqualTo(500.0);
+        assertThat(LoadReport.percentileMillis(sorted, 0.99)).isEqualTo(990.0);
+        assertThat(LoadReport.percentileMillis(sorted, 0.999)).isEqualTo(999.0);
+    }
+
+    @Test
+    void singleSampleIsEveryPercentile() {
+        long[] sorted = {TimeUnit.MILLISECONDS.toNanos(42)};
+
+        assertThat(LoadReport.percentileMillis(sorted, 0.50)).isEqualTo(42.0);
+        assertThat(LoadReport.percentileMillis(sorted, 0.999)).isEqualTo(42.0);
+    }
+
+    @Test
+    void noSamplesReportZero() {
+        assertThat(LoadReport.percentileMillis(new long[0], 0.99)).isZero();
+    }
+
+    @Test
+    void failuresAreExcludedFromThroughputAndPercentiles() {
+        LoadReport report = new LoadReport("restart-storm");
+        for (int i = 0; i < 4; i++) {
+            report.recordSuccess(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        for (int i = 0; i < 6; i++) {
+            report.recordFailure(TimeUnit.SECONDS.toNanos(30));
+        }
+        report.throughputWindow(TimeUnit.SECONDS.toNanos(2));
+        report.complete(20, 0);
+
+        assertThat(report.summary())
+                .contains("requests      10")
+                .contains("failures     6 (p50 30000.0 ms)")
+                .contains("2.0 req/s")
+                .contains("p50    10.0 ms")
+                .contains("max    10.0 ms");
+    }
+
+    @Test
+    void summaryIncludesServerUsageWhenMeasured() {
+        LoadReport report = new LoadReport("restart-storm");
+        report.recordSuccess(TimeUnit.MILLISECONDS.toNanos(5));
+        report.complete(2, 0);
+        assertThat(report.summary()).doesNotContain("heap");
+
+        report.serverUsage(200L * 1024 * 1024, 0, 57);
+
+        assertThat(report.summary()).endsWith("heap  200 MB  RSS     n/a  threads   57");
+    }
+
+    @Test
+    void summaryReportsThroughputOnlyWithWindow() {
+        LoadReport storm = new LoadReport("restart-storm");
+        LoadReport wave = new LoadReport("refresh-wave");
+        for (int i = 0; i < 10; i++) {
+            storm.recordSuccess(TimeUnit.MILLISECONDS.toNanos(5));
+            wave.recordSuccess(TimeUnit.MILLISECONDS.toNanos(5));
+        }
+        storm.throughputWindow(TimeUnit.SECONDS.toNanos(2));
+        storm.complete(20, 0);
+        wave.complete(20, 0);
+
+        assertThat(storm.summary()).contains("5.0 req/s");
+        assertThat(wave.summary()).contains("n/a req/s");
+    }
+}
@@ -0,0 +1,26 @@
+package com.demo.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ServerMonitorTest {
+
+    @Test
+    void readsFirstMeasurement() throws IOException {
+        String json = "{\"name\":\"jvm.memory.used\",\"baseUnit\":\"bytes\","
+                + "\"measurements\":[{\"statistic\":\"VALUE\",\"value\":1.23456789E8}],"
+                + "\"availableTags\":[{\"tag\":\"id\",\"values\":[\"G1 Eden Space\"]}]}";
+
+        assertThat(ServerMonitor.metricValue(json)).isEqualTo(1.23456789E8);
+    }
+
+    @Test
+    void responseWithoutMeasurementIsRejected() {
+        assertThatThrownBy(() -> ServerMonitor.metricValue("{\"status\":404}"))
+                .isInstanceOf(IOException.class);
+    }
+}